@@ -0,0 +1,303 @@
+package org.vrp;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction hierarchy over a directed graph with one edge metric.
+ * Nodes are contracted once in order of edge difference; queries then only
+ * walk "upward" edges, which keeps the search spaces small enough to answer
+ * many-to-many requests with the bucket method on all cores.
+ */
+final class ContractionHierarchy {
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int nodeCount;
+    // forward upward edges: u -> w with rank[w] > rank[u]
+    private final int[] upFirst;
+    private final int[] upTarget;
+    private final long[] upWeight;
+    // backward upward edges: stored at u for original edges w -> u with rank[w] > rank[u]
+    private final int[] downFirst;
+    private final int[] downTarget;
+    private final long[] downWeight;
+    private final ThreadLocal<UpwardSearch> searches;
+
+    private ContractionHierarchy(int nodeCount, Adjacency[] up, Adjacency[] down) {
+        this.nodeCount = nodeCount;
+        upFirst = new int[nodeCount + 1];
+        downFirst = new int[nodeCount + 1];
+        for (int v = 0; v < nodeCount; ++v) {
+            upFirst[v + 1] = upFirst[v] + up[v].size;
+            downFirst[v + 1] = downFirst[v] + down[v].size;
+        }
+        upTarget = new int[upFirst[nodeCount]];
+        upWeight = new long[upFirst[nodeCount]];
+        downTarget = new int[downFirst[nodeCount]];
+        downWeight = new long[downFirst[nodeCount]];
+        for (int v = 0; v < nodeCount; ++v) {
+            System.arraycopy(up[v].target, 0, upTarget, upFirst[v], up[v].size);
+            System.arraycopy(up[v].weight, 0, upWeight, upFirst[v], up[v].size);
+            System.arraycopy(down[v].target, 0, downTarget, downFirst[v], down[v].size);
+            System.arraycopy(down[v].weight, 0, downWeight, downFirst[v], down[v].size);
+        }
+        searches = ThreadLocal.withInitial(() -> new UpwardSearch(nodeCount));
+    }
+
+    static ContractionHierarchy build(int nodeCount, int[] from, int[] to, long[] weight) {
+        return new Contractor(nodeCount, from, to, weight).contractAll();
+    }
+
+    /**
+     * Shortest path costs from every source to every target, {@code Long.MAX_VALUE}
+     * where a target is unreachable. Backward searches fill per-node buckets, then
+     * every source row is answered by a single forward search scanning them.
+     */
+    long[][] manyToMany(int[] sources, int[] targets) {
+        int[][] spaceNodes = new int[targets.length][];
+        long[][] spaceDistances = new long[targets.length][];
+        IntStream.range(0, targets.length).parallel().forEach(t -> {
+            UpwardSearch search = searches.get();
+            search.run(targets[t], downFirst, downTarget, downWeight);
+            spaceNodes[t] = Arrays.copyOf(search.settled, search.settledCount);
+            spaceDistances[t] = Arrays.copyOf(search.settledDistance, search.settledCount);
+        });
+
+        int[] bucketFirst = new int[nodeCount + 1];
+        for (int[] nodes : spaceNodes) {
+            for (int v : nodes) bucketFirst[v + 1]++;
+        }
+        for (int v = 0; v < nodeCount; ++v) bucketFirst[v + 1] += bucketFirst[v];
+        int[] fill = Arrays.copyOf(bucketFirst, nodeCount);
+        int[] bucketTarget = new int[bucketFirst[nodeCount]];
+        long[] bucketDistance = new long[bucketFirst[nodeCount]];
+        for (int t = 0; t < targets.length; ++t) {
+            for (int i = 0; i < spaceNodes[t].length; ++i) {
+                int slot = fill[spaceNodes[t][i]]++;
+                bucketTarget[slot] = t;
+                bucketDistance[slot] = spaceDistances[t][i];
+            }
+        }
+
+        long[][] matrix = new long[sources.length][targets.length];
+        IntStream.range(0, sources.length).parallel().forEach(s -> {
+            long[] row = matrix[s];
+            Arrays.fill(row, Long.MAX_VALUE);
+            UpwardSearch search = searches.get();
+            search.run(sources[s], upFirst, upTarget, upWeight);
+            for (int i = 0; i < search.settledCount; ++i) {
+                int v = search.settled[i];
+                long d = search.settledDistance[i];
+                for (int b = bucketFirst[v]; b < bucketFirst[v + 1]; ++b) {
+                    long total = d + bucketDistance[b];
+                    if (total < row[bucketTarget[b]]) row[bucketTarget[b]] = total;
+                }
+            }
+        });
+        return matrix;
+    }
+
+    /** Plain Dijkstra restricted to upward edges, reusable per thread. */
+    private static final class UpwardSearch {
+        private final long[] distance;
+        private final MinHeap heap;
+        int[] settled = new int[64];
+        long[] settledDistance = new long[64];
+        int settledCount;
+
+        UpwardSearch(int nodeCount) {
+            distance = new long[nodeCount];
+            Arrays.fill(distance, Long.MAX_VALUE);
+            heap = new MinHeap(nodeCount);
+        }
+
+        void run(int start, int[] first, int[] target, long[] weight) {
+            for (int i = 0; i < settledCount; ++i) distance[settled[i]] = Long.MAX_VALUE;
+            settledCount = 0;
+            distance[start] = 0;
+            heap.push(start, 0);
+            while (!heap.isEmpty()) {
+                int v = heap.pop();
+                long d = distance[v];
+                if (settledCount == settled.length) {
+                    settled = Arrays.copyOf(settled, settledCount * 2);
+                    settledDistance = Arrays.copyOf(settledDistance, settledCount * 2);
+                }
+                settled[settledCount] = v;
+                settledDistance[settledCount++] = d;
+                for (int e = first[v]; e < first[v + 1]; ++e) {
+                    int w = target[e];
+                    long candidate = d + weight[e];
+                    if (candidate < distance[w]) {
+                        // only settled nodes are reset, so every reached node must end up settled
+                        distance[w] = candidate;
+                        heap.push(w, candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Mutable adjacency list of one node, keeping only the cheapest parallel edge. */
+    private static final class Adjacency {
+        int[] target = new int[4];
+        long[] weight = new long[4];
+        int size;
+
+        void relax(int node, long w) {
+            for (int i = 0; i < size; ++i) {
+                if (target[i] == node) {
+                    if (w < weight[i]) weight[i] = w;
+                    return;
+                }
+            }
+            if (size == target.length) {
+                target = Arrays.copyOf(target, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            target[size] = node;
+            weight[size++] = w;
+        }
+
+        void remove(int node) {
+            for (int i = 0; i < size; ++i) {
+                if (target[i] == node) {
+                    target[i] = target[--size];
+                    weight[i] = weight[size];
+                    return;
+                }
+            }
+        }
+
+        Adjacency copy() {
+            Adjacency copy = new Adjacency();
+            copy.target = Arrays.copyOf(target, size);
+            copy.weight = Arrays.copyOf(weight, size);
+            copy.size = size;
+            return copy;
+        }
+    }
+
+    private static final class Contractor {
+        private final int nodeCount;
+        private final Adjacency[] out;
+        private final Adjacency[] in;
+        private final Adjacency[] up;
+        private final Adjacency[] down;
+        private final int[] deletedNeighbors;
+        private final long[] witnessDistance;
+        private final int[] witnessTouched;
+        private int witnessTouchedCount;
+        private final MinHeap witnessHeap;
+
+        Contractor(int nodeCount, int[] from, int[] to, long[] weight) {
+            this.nodeCount = nodeCount;
+            out = new Adjacency[nodeCount];
+            in = new Adjacency[nodeCount];
+            up = new Adjacency[nodeCount];
+            down = new Adjacency[nodeCount];
+            for (int v = 0; v < nodeCount; ++v) {
+                out[v] = new Adjacency();
+                in[v] = new Adjacency();
+            }
+            for (int e = 0; e < from.length; ++e) {
+                if (from[e] == to[e]) continue;
+                out[from[e]].relax(to[e], weight[e]);
+                in[to[e]].relax(from[e], weight[e]);
+            }
+            deletedNeighbors = new int[nodeCount];
+            witnessDistance = new long[nodeCount];
+            Arrays.fill(witnessDistance, Long.MAX_VALUE);
+            witnessTouched = new int[nodeCount];
+            witnessHeap = new MinHeap(nodeCount);
+        }
+
+        ContractionHierarchy contractAll() {
+            MinHeap queue = new MinHeap(nodeCount);
+            for (int v = 0; v < nodeCount; ++v) queue.push(v, priority(v));
+            while (!queue.isEmpty()) {
+                int v = queue.pop();
+                long p = priority(v);
+                if (!queue.isEmpty() && p > queue.peekKey()) {
+                    queue.push(v, p);
+                    continue;
+                }
+                contract(v);
+            }
+            return new ContractionHierarchy(nodeCount, up, down);
+        }
+
+        private long priority(int v) {
+            return (long) addShortcuts(v, false) - in[v].size - out[v].size + deletedNeighbors[v];
+        }
+
+        private void contract(int v) {
+            addShortcuts(v, true);
+            // every remaining neighbour is contracted later, i.e. ranks higher than v
+            up[v] = out[v].copy();
+            down[v] = in[v].copy();
+            for (int i = 0; i < out[v].size; ++i) {
+                in[out[v].target[i]].remove(v);
+                deletedNeighbors[out[v].target[i]]++;
+            }
+            for (int i = 0; i < in[v].size; ++i) {
+                out[in[v].target[i]].remove(v);
+                deletedNeighbors[in[v].target[i]]++;
+            }
+            out[v] = null;
+            in[v] = null;
+        }
+
+        /** Counts (and optionally inserts) the shortcuts needed to bypass v. */
+        private int addShortcuts(int v, boolean apply) {
+            Adjacency incoming = in[v];
+            Adjacency outgoing = out[v];
+            int shortcuts = 0;
+            for (int i = 0; i < incoming.size; ++i) {
+                int u = incoming.target[i];
+                long viaV = incoming.weight[i];
+                long limit = 0;
+                for (int j = 0; j < outgoing.size; ++j) {
+                    if (outgoing.target[j] != u) limit = Math.max(limit, viaV + outgoing.weight[j]);
+                }
+                witnessSearch(u, v, limit);
+                for (int j = 0; j < outgoing.size; ++j) {
+                    int x = outgoing.target[j];
+                    long total = viaV + outgoing.weight[j];
+                    if (x == u || witnessDistance[x] <= total) continue;
+                    shortcuts++;
+                    if (apply) {
+                        out[u].relax(x, total);
+                        in[x].relax(u, total);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /** Bounded Dijkstra from u that ignores v; a miss only costs a redundant shortcut. */
+        private void witnessSearch(int u, int v, long limit) {
+            for (int i = 0; i < witnessTouchedCount; ++i) witnessDistance[witnessTouched[i]] = Long.MAX_VALUE;
+            witnessTouchedCount = 0;
+            witnessHeap.clear();
+            witnessDistance[u] = 0;
+            witnessTouched[witnessTouchedCount++] = u;
+            witnessHeap.push(u, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled++ < WITNESS_SETTLE_LIMIT) {
+                int w = witnessHeap.pop();
+                Adjacency edges = out[w];
+                for (int i = 0; i < edges.size; ++i) {
+                    int x = edges.target[i];
+                    if (x == v) continue;
+                    long candidate = witnessDistance[w] + edges.weight[i];
+                    if (candidate < witnessDistance[x]) {
+                        if (witnessDistance[x] == Long.MAX_VALUE) witnessTouched[witnessTouchedCount++] = x;
+                        witnessDistance[x] = candidate;
+                        witnessHeap.push(x, candidate);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.vrp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds the {@code distanceMatrix} / {@code timeMatrix} inputs of the runners'
+ * {@code DataModel}s offline from a local road graph (see {@link RoadNetwork}).
+ * The graph is preprocessed once into one contraction hierarchy per metric,
+ * after which n x n matrices are answered with parallel many-to-many queries.
+ *
+ * <p>Usage: {@code DistanceMatrixBuilder <edges.txt> <points.txt> [outputDir]}, where
+ * the points file lists one node id per line and the first point is the depot. The
+ * matrices are written as {@link MatrixFile}s that the runners load when
+ * {@code outputDir} is passed as their first argument.
+ */
+public class DistanceMatrixBuilder {
+    private final RoadNetwork network;
+    private final ContractionHierarchy distanceHierarchy;
+    private final ContractionHierarchy timeHierarchy;
+
+    public DistanceMatrixBuilder(Path edgeList) throws IOException {
+        this(RoadNetwork.load(edgeList));
+    }
+
+    DistanceMatrixBuilder(RoadNetwork network) {
+        this.network = network;
+        CompletableFuture<ContractionHierarchy> distance = CompletableFuture.supplyAsync(() ->
+                ContractionHierarchy.build(network.nodeCount(), network.from(), network.to(), network.distance()));
+        timeHierarchy = ContractionHierarchy.build(network.nodeCount(), network.from(), network.to(), network.time());
+        distanceHierarchy = distance.join();
+    }
+
+    /** Shortest road distance between every pair of points, in the units of the edge list. */
+    public long[][] distanceMatrix(long[] pointIds) {
+        return matrix(distanceHierarchy, pointIds);
+    }
+
+    /** Fastest travel time between every pair of points, in the units of the edge list. */
+    public long[][] timeMatrix(long[] pointIds) {
+        return matrix(timeHierarchy, pointIds);
+    }
+
+    private long[][] matrix(ContractionHierarchy hierarchy, long[] pointIds) {
+        int[] nodes = new int[pointIds.length];
+        for (int i = 0; i < nodes.length; ++i) nodes[i] = network.node(pointIds[i]);
+        long[][] matrix = hierarchy.manyToMany(nodes, nodes);
+        for (int i = 0; i < matrix.length; ++i) {
+            for (int j = 0; j < matrix[i].length; ++j) {
+                if (matrix[i][j] == Long.MAX_VALUE) {
+                    throw new IllegalStateException("Point " + pointIds[j] + " is unreachable from point " + pointIds[i]);
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /** Point ids of a points file: one node id per line, {@code #} comments and blank lines skipped. */
+    static long[] readPoints(Path path) throws IOException {
+        long[] pointIds = new long[16];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                if (count == pointIds.length) pointIds = Arrays.copyOf(pointIds, count * 2);
+                try {
+                    pointIds[count++] = Long.parseLong(line);
+                } catch (NumberFormatException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return Arrays.copyOf(pointIds, count);
+    }
+
+    public static void main(String[] args) {
+        try {
+            build(args);
+        } catch (NoSuchFileException e) {
+            System.err.println("No such file: " + e.getFile());
+            System.exit(1);
+        } catch (IOException | IllegalArgumentException | IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static void build(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: DistanceMatrixBuilder <edges.txt> <points.txt> [outputDir]");
+        }
+        long[] pointIds = readPoints(Path.of(args[1]));
+
+        Instant start = Instant.now();
+        RoadNetwork network = RoadNetwork.load(Path.of(args[0]));
+        for (long id : pointIds) {
+            if (!network.contains(id)) {
+                throw new IllegalArgumentException("Node " + id + " is not part of the road network");
+            }
+        }
+        DistanceMatrixBuilder builder = new DistanceMatrixBuilder(network);
+        Instant preprocessed = Instant.now();
+        long[][] distanceMatrix = builder.distanceMatrix(pointIds);
+        long[][] timeMatrix = builder.timeMatrix(pointIds);
+        Instant end = Instant.now();
+
+        System.out.println("Preprocessing Time: " + Duration.between(start, preprocessed).toMillis() + " ms");
+        System.out.println("Matrix Time (" + pointIds.length + "x" + pointIds.length + "): "
+                + Duration.between(preprocessed, end).toMillis() + " ms");
+
+        Path outputDir = Path.of(args.length > 2 ? args[2] : ".");
+        Files.createDirectories(outputDir);
+        MatrixFile.write(outputDir.resolve(MatrixFile.DISTANCE_MATRIX), distanceMatrix);
+        MatrixFile.write(outputDir.resolve(MatrixFile.TIME_MATRIX), timeMatrix);
+        System.out.println("Results saved to " + outputDir.resolve(MatrixFile.DISTANCE_MATRIX)
+                + " and " + outputDir.resolve(MatrixFile.TIME_MATRIX));
+    }
+}
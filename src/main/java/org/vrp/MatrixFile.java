@@ -0,0 +1,85 @@
+package org.vrp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Square matrices stored as plain text, one whitespace separated row per line.
+ * {@link DistanceMatrixBuilder} writes them and the runners' {@code DataModel}s
+ * read them from the directory passed as the first program argument.
+ */
+final class MatrixFile {
+    static final String DISTANCE_MATRIX = "distanceMatrix.txt";
+    static final String TIME_MATRIX = "timeMatrix.txt";
+
+    // RunExperiments rebuilds every DataModel per strategy pair, so parse each file once
+    private static final Map<Path, long[][]> CACHE = new ConcurrentHashMap<>();
+
+    private MatrixFile() {
+    }
+
+    /**
+     * The matrix {@code fileName} in the directory {@code args[0]}, or {@code fallback}
+     * when no directory is given.
+     */
+    static long[][] load(String[] args, String fileName, long[][] fallback) {
+        if (args == null || args.length == 0) return fallback;
+        return CACHE.computeIfAbsent(Path.of(args[0], fileName).toAbsolutePath(), path -> {
+            try {
+                return read(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    static long[][] read(Path path) throws IOException {
+        List<long[]> rows = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) continue;
+                String[] fields = line.split("\\s+");
+                long[] row = new long[fields.length];
+                try {
+                    for (int j = 0; j < fields.length; ++j) row[j] = Long.parseLong(fields[j]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(path + ": row " + (rows.size() + 1) + ": " + e.getMessage());
+                }
+                rows.add(row);
+            }
+        }
+        long[][] matrix = rows.toArray(new long[0][]);
+        for (int i = 0; i < matrix.length; ++i) {
+            if (matrix[i].length != matrix.length) {
+                throw new IOException(path + ": row " + (i + 1) + " has " + matrix[i].length
+                        + " values, expected " + matrix.length);
+            }
+        }
+        return matrix;
+    }
+
+    static void write(Path path, long[][] matrix) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            StringBuilder line = new StringBuilder();
+            for (long[] row : matrix) {
+                line.setLength(0);
+                for (int j = 0; j < row.length; ++j) {
+                    if (j > 0) line.append(' ');
+                    line.append(row[j]);
+                }
+                writer.write(line.toString());
+                writer.newLine();
+            }
+        }
+    }
+}
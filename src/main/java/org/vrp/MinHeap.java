@@ -0,0 +1,90 @@
+package org.vrp;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap over node ids {@code 0..capacity-1} with decrease-key,
+ * used by the shortest path searches of {@link ContractionHierarchy}.
+ */
+final class MinHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final long[] keys;
+    private int size;
+
+    MinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Inserts the node, or updates its key if it is already queued. */
+    void push(int node, long key) {
+        int i = position[node];
+        if (i < 0) {
+            i = size++;
+            heap[i] = node;
+            position[node] = i;
+            keys[node] = key;
+            siftUp(i);
+        } else {
+            long old = keys[node];
+            keys[node] = key;
+            if (key < old) siftUp(i);
+            else siftDown(i);
+        }
+    }
+
+    long peekKey() {
+        return keys[heap[0]];
+    }
+
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        if (--size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; ++i) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int node = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[heap[parent]] <= keys[node]) break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = node;
+        position[node] = i;
+    }
+
+    private void siftDown(int i) {
+        int node = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) child++;
+            if (keys[heap[child]] >= keys[node]) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = node;
+        position[node] = i;
+    }
+}
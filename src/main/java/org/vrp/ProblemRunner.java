@@ -6,5 +6,8 @@ import com.google.ortools.constraintsolver.LocalSearchMetaheuristic;
 public interface ProblemRunner {
     String run(String[] args, FirstSolutionStrategy.Value first, LocalSearchMetaheuristic.Value local);
     String getName();
+
+    /** Throws if the input selected by {@code args} does not fit this problem's data. */
+    void validate(String[] args);
 }
 
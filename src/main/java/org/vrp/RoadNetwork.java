@@ -0,0 +1,126 @@
+package org.vrp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Road graph read from a plain edge-list extract. Each non-empty line that does
+ * not start with {@code #} holds whitespace separated {@code fromId toId distance time [oneway]}.
+ * The optional fifth column follows OSM: {@code no}/{@code 0} (default) is two-way,
+ * {@code yes}/{@code 1}/{@code oneway} is from -> to only and {@code -1} is to -> from only.
+ * Node ids are arbitrary longs (e.g. OSM node ids) and are remapped to 0..n-1.
+ */
+final class RoadNetwork {
+    private final Map<Long, Integer> nodeIndex = new HashMap<>();
+    private int[] from = new int[1024];
+    private int[] to = new int[1024];
+    private long[] distance = new long[1024];
+    private long[] time = new long[1024];
+    private int edgeCount;
+
+    static RoadNetwork load(Path path) throws IOException {
+        RoadNetwork network = new RoadNetwork();
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\s+");
+                if (fields.length < 4) {
+                    throw new IOException(path + ":" + lineNumber + ": expected 'fromId toId distance time [oneway]'");
+                }
+                long fromId;
+                long toId;
+                long d;
+                long t;
+                try {
+                    fromId = Long.parseLong(fields[0]);
+                    toId = Long.parseLong(fields[1]);
+                    d = Long.parseLong(fields[2]);
+                    t = Long.parseLong(fields[3]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(path + ":" + lineNumber + ": " + e.getMessage());
+                }
+                if (d < 0 || t < 0) {
+                    throw new IOException(path + ":" + lineNumber + ": negative distance or time");
+                }
+                int u = network.indexOf(fromId);
+                int v = network.indexOf(toId);
+                String direction = fields.length > 4 ? fields[4].toLowerCase() : "no";
+                switch (direction) {
+                    case "no", "0" -> {
+                        network.addEdge(u, v, d, t);
+                        network.addEdge(v, u, d, t);
+                    }
+                    case "yes", "1", "oneway" -> network.addEdge(u, v, d, t);
+                    case "-1" -> network.addEdge(v, u, d, t);
+                    default -> throw new IOException(path + ":" + lineNumber + ": unknown oneway value '" + fields[4] + "'");
+                }
+            }
+        }
+        network.trim();
+        return network;
+    }
+
+    int nodeCount() {
+        return nodeIndex.size();
+    }
+
+    int[] from() {
+        return from;
+    }
+
+    int[] to() {
+        return to;
+    }
+
+    long[] distance() {
+        return distance;
+    }
+
+    long[] time() {
+        return time;
+    }
+
+    boolean contains(long id) {
+        return nodeIndex.containsKey(id);
+    }
+
+    /** Internal index of an extract node id. */
+    int node(long id) {
+        Integer index = nodeIndex.get(id);
+        if (index == null) throw new IllegalArgumentException("Node " + id + " is not part of the road network");
+        return index;
+    }
+
+    private int indexOf(long id) {
+        return nodeIndex.computeIfAbsent(id, k -> nodeIndex.size());
+    }
+
+    private void addEdge(int u, int v, long d, long t) {
+        if (edgeCount == from.length) {
+            from = Arrays.copyOf(from, edgeCount * 2);
+            to = Arrays.copyOf(to, edgeCount * 2);
+            distance = Arrays.copyOf(distance, edgeCount * 2);
+            time = Arrays.copyOf(time, edgeCount * 2);
+        }
+        from[edgeCount] = u;
+        to[edgeCount] = v;
+        distance[edgeCount] = d;
+        time[edgeCount++] = t;
+    }
+
+    private void trim() {
+        from = Arrays.copyOf(from, edgeCount);
+        to = Arrays.copyOf(to, edgeCount);
+        distance = Arrays.copyOf(distance, edgeCount);
+        time = Arrays.copyOf(time, edgeCount);
+    }
+}
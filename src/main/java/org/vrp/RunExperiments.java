@@ -5,6 +5,7 @@ import com.google.ortools.constraintsolver.FirstSolutionStrategy;
 import com.google.ortools.constraintsolver.LocalSearchMetaheuristic;
 
 import java.io.FileWriter;
+import java.io.UncheckedIOException;
 import java.io.PrintWriter;
 import java.time.Duration;
 import java.time.Instant;
@@ -54,6 +55,12 @@ public class RunExperiments {
         };
 
         for (ProblemRunner problem : problems) {
+            try {
+                problem.validate(args);
+            } catch (IllegalArgumentException | UncheckedIOException e) {
+                System.out.println("Skipping " + problem.getName() + ": " + e.getMessage());
+                continue;
+            }
             String fileName = problem.getName().replaceAll("\\s+", "_") + ".txt";
             PrintWriter writer = new PrintWriter(new FileWriter(fileName));
 
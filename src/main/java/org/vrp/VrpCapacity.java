@@ -13,7 +13,7 @@ import com.google.protobuf.Duration;
 
 public class VrpCapacity implements ProblemRunner {
     static class DataModel {
-        public final long[][] distanceMatrix = {
+        private static final long[][] DEFAULT_DISTANCE_MATRIX = {
                 {0, 548, 776, 696, 582, 274, 502, 194, 308, 194, 536, 502, 388, 354, 468, 776, 662},
                 {548, 0, 684, 308, 194, 502, 730, 354, 696, 742, 1084, 594, 480, 674, 1016, 868, 1210},
                 {776, 684, 0, 992, 878, 502, 274, 810, 468, 742, 400, 1278, 1164, 1130, 788, 1552, 754},
@@ -32,10 +32,19 @@ public class VrpCapacity implements ProblemRunner {
                 {776, 868, 1552, 560, 674, 1050, 1278, 742, 1084, 810, 1152, 274, 388, 422, 764, 0, 798},
                 {662, 1210, 754, 1358, 1244, 708, 480, 856, 514, 468, 354, 844, 730, 536, 194, 798, 0},
         };
+        public final long[][] distanceMatrix;
         public final long[] demands = {0, 1, 1, 2, 4, 2, 4, 8, 8, 1, 2, 1, 2, 4, 4, 8, 8};
         public final long[] vehicleCapacities = {15, 15, 15, 15};
         public final int vehicleNumber = 4;
         public final int depot = 0;
+
+        DataModel(String[] args) {
+            distanceMatrix = MatrixFile.load(args, MatrixFile.DISTANCE_MATRIX, DEFAULT_DISTANCE_MATRIX);
+            if (distanceMatrix.length != demands.length) {
+                throw new IllegalArgumentException("distanceMatrix has " + distanceMatrix.length
+                        + " nodes but demands has " + demands.length);
+            }
+        }
     }
 
     static String printSolution(DataModel data, RoutingModel routing, RoutingIndexManager manager, Assignment solution) {
@@ -74,7 +83,7 @@ public class VrpCapacity implements ProblemRunner {
     public String run(String[] args, FirstSolutionStrategy.Value first, LocalSearchMetaheuristic.Value local) {
         try {
             Loader.loadNativeLibraries();
-            DataModel data = new DataModel();
+            DataModel data = new DataModel(args);
 
             RoutingIndexManager manager =
                     new RoutingIndexManager(data.distanceMatrix.length, data.vehicleNumber, data.depot);
@@ -117,6 +126,11 @@ public class VrpCapacity implements ProblemRunner {
         }
     }
 
+    @Override
+    public void validate(String[] args) {
+        new DataModel(args);
+    }
+
     @Override
     public String getName() {
         return "VRP CapacityConstraints";
@@ -6,7 +6,7 @@ import com.google.protobuf.Duration;
 
 public class VrpPickupDelivery implements ProblemRunner {
     static class DataModel {
-        public final long[][] distanceMatrix = {
+        private static final long[][] DEFAULT_DISTANCE_MATRIX = {
                 {0, 548, 776, 696, 582, 274, 502, 194, 308, 194, 536, 502, 388, 354, 468, 776, 662},
                 {548, 0, 684, 308, 194, 502, 730, 354, 696, 742, 1084, 594, 480, 674, 1016, 868, 1210},
                 {776, 684, 0, 992, 878, 502, 274, 810, 468, 742, 400, 1278, 1164, 1130, 788, 1552, 754},
@@ -25,6 +25,7 @@ public class VrpPickupDelivery implements ProblemRunner {
                 {776, 868, 1552, 560, 674, 1050, 1278, 742, 1084, 810, 1152, 274, 388, 422, 764, 0, 798},
                 {662, 1210, 754, 1358, 1244, 708, 480, 856, 514, 468, 354, 844, 730, 536, 194, 798, 0},
         };
+        public final long[][] distanceMatrix;
         public final int[][] pickupsDeliveries = {
                 {1, 6},
                 {2, 10},
@@ -37,6 +38,16 @@ public class VrpPickupDelivery implements ProblemRunner {
         };
         public final int vehicleNumber = 4;
         public final int depot = 0;
+
+        DataModel(String[] args) {
+            distanceMatrix = MatrixFile.load(args, MatrixFile.DISTANCE_MATRIX, DEFAULT_DISTANCE_MATRIX);
+            for (int[] request : pickupsDeliveries) {
+                if (request[0] >= distanceMatrix.length || request[1] >= distanceMatrix.length) {
+                    throw new IllegalArgumentException("pickup/delivery " + request[0] + " -> " + request[1]
+                            + " is outside the " + distanceMatrix.length + "-node distanceMatrix");
+                }
+            }
+        }
     }
 
     private String printSolution(
@@ -71,7 +82,7 @@ public class VrpPickupDelivery implements ProblemRunner {
                       LocalSearchMetaheuristic.Value localSearch) {
         try {
             Loader.loadNativeLibraries();
-            final DataModel data = new DataModel();
+            final DataModel data = new DataModel(args);
 
             RoutingIndexManager manager = new RoutingIndexManager(
                     data.distanceMatrix.length, data.vehicleNumber, data.depot);
@@ -121,6 +132,11 @@ public class VrpPickupDelivery implements ProblemRunner {
         }
     }
 
+    @Override
+    public void validate(String[] args) {
+        new DataModel(args);
+    }
+
     @Override
     public String getName() {
         return "Vrp PickupDelivery";
@@ -6,7 +6,7 @@ import com.google.protobuf.Duration;
 
 public class VrpTimeWindows implements ProblemRunner {
     static class DataModel {
-        public final long[][] timeMatrix = {
+        private static final long[][] DEFAULT_TIME_MATRIX = {
                 {0, 6, 9, 8, 7, 3, 6, 2, 3, 2, 6, 6, 4, 4, 5, 9, 7},
                 {6, 0, 8, 3, 2, 6, 8, 4, 8, 8, 13, 7, 5, 8, 12, 10, 14},
                 {9, 8, 0, 11, 10, 6, 3, 9, 5, 8, 4, 15, 14, 13, 9, 18, 9},
@@ -25,6 +25,7 @@ public class VrpTimeWindows implements ProblemRunner {
                 {9, 10, 18, 6, 8, 12, 15, 8, 13, 9, 13, 3, 4, 5, 9, 0, 9},
                 {7, 14, 9, 16, 14, 8, 5, 10, 6, 5, 4, 10, 8, 6, 2, 9, 0},
         };
+        public final long[][] timeMatrix;
         public final long[][] timeWindows = {
                 {0, 5}, {7, 12}, {10, 15}, {16, 18}, {10, 13}, {0, 5},
                 {5, 10}, {0, 4}, {5, 10}, {0, 3}, {10, 16}, {10, 15},
@@ -32,6 +33,14 @@ public class VrpTimeWindows implements ProblemRunner {
         };
         public final int vehicleNumber = 4;
         public final int depot = 0;
+
+        DataModel(String[] args) {
+            timeMatrix = MatrixFile.load(args, MatrixFile.TIME_MATRIX, DEFAULT_TIME_MATRIX);
+            if (timeMatrix.length != timeWindows.length) {
+                throw new IllegalArgumentException("timeMatrix has " + timeMatrix.length
+                        + " nodes but timeWindows has " + timeWindows.length);
+            }
+        }
     }
 
     private String printSolution(DataModel data, RoutingModel routing, RoutingIndexManager manager, Assignment solution) {
@@ -65,7 +74,7 @@ public class VrpTimeWindows implements ProblemRunner {
     @Override
     public String run(String[] args, FirstSolutionStrategy.Value firstSolutionStrategy, LocalSearchMetaheuristic.Value localSearch) {
         Loader.loadNativeLibraries();
-        DataModel data = new DataModel();
+        DataModel data = new DataModel(args);
         RoutingIndexManager manager = new RoutingIndexManager(data.timeMatrix.length, data.vehicleNumber, data.depot);
         RoutingModel routing = new RoutingModel(manager);
 
@@ -104,6 +113,11 @@ public class VrpTimeWindows implements ProblemRunner {
         return printSolution(data, routing, manager, solution);
     }
 
+    @Override
+    public void validate(String[] args) {
+        new DataModel(args);
+    }
+
     @Override
     public String getName() {
         return "Vrp TimeWindows";
@@ -0,0 +1,101 @@
+package org.vrp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContractionHierarchyTest {
+
+    @Test
+    void manyToManyMatchesDijkstraOnRandomGraphs() {
+        Random random = new Random(42);
+        for (int graph = 0; graph < 300; ++graph) {
+            int nodeCount = 1 + random.nextInt(60);
+            int edgeCount = random.nextInt(nodeCount * 4 + 1);
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            long[] weight = new long[edgeCount];
+            for (int e = 0; e < edgeCount; ++e) {
+                // small node and weight ranges give self-loops, parallel and zero-weight edges
+                from[e] = random.nextInt(nodeCount);
+                to[e] = random.nextInt(nodeCount);
+                weight[e] = random.nextInt(10);
+            }
+            assertMatchesDijkstra(nodeCount, from, to, weight, "graph " + graph);
+        }
+    }
+
+    @Test
+    void manyToManyMatchesDijkstraOnGridWithOneWayStreets() {
+        Random random = new Random(7);
+        int side = 40;
+        List<int[]> edges = new ArrayList<>();
+        for (int y = 0; y < side; ++y) {
+            for (int x = 0; x < side; ++x) {
+                int v = y * side + x;
+                if (x + 1 < side) addStreet(edges, v, v + 1, random);
+                if (y + 1 < side) addStreet(edges, v, v + side, random);
+            }
+        }
+        int[] from = edges.stream().mapToInt(e -> e[0]).toArray();
+        int[] to = edges.stream().mapToInt(e -> e[1]).toArray();
+        long[] weight = edges.stream().mapToLong(e -> e[2]).toArray();
+        assertMatchesDijkstra(side * side, from, to, weight, "grid");
+    }
+
+    @Test
+    void unreachableTargetsStayAtMaxValue() {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(3, new int[]{0}, new int[]{1}, new long[]{5});
+        long[][] matrix = hierarchy.manyToMany(new int[]{0, 1, 2}, new int[]{0, 1, 2});
+        assertArrayEquals(new long[]{0, 5, Long.MAX_VALUE}, matrix[0]);
+        assertEquals(Long.MAX_VALUE, matrix[1][0]);
+        assertEquals(Long.MAX_VALUE, matrix[2][1]);
+    }
+
+    private static void addStreet(List<int[]> edges, int u, int v, Random random) {
+        int weight = 1 + random.nextInt(100);
+        switch (random.nextInt(5)) {
+            case 0 -> edges.add(new int[]{u, v, weight});
+            case 1 -> edges.add(new int[]{v, u, weight});
+            default -> {
+                edges.add(new int[]{u, v, weight});
+                edges.add(new int[]{v, u, weight});
+            }
+        }
+    }
+
+    private static void assertMatchesDijkstra(int nodeCount, int[] from, int[] to, long[] weight, String label) {
+        int[] nodes = new int[nodeCount];
+        for (int v = 0; v < nodeCount; ++v) nodes[v] = v;
+        long[][] matrix = ContractionHierarchy.build(nodeCount, from, to, weight).manyToMany(nodes, nodes);
+        for (int s = 0; s < nodeCount; ++s) {
+            assertArrayEquals(dijkstra(nodeCount, from, to, weight, s), matrix[s], label + ", source " + s);
+        }
+    }
+
+    private static long[] dijkstra(int nodeCount, int[] from, int[] to, long[] weight, int source) {
+        long[] distance = new long[nodeCount];
+        Arrays.fill(distance, Long.MAX_VALUE);
+        distance[source] = 0;
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        queue.add(new long[]{0, source});
+        while (!queue.isEmpty()) {
+            long[] top = queue.poll();
+            int v = (int) top[1];
+            if (top[0] > distance[v]) continue;
+            for (int e = 0; e < from.length; ++e) {
+                if (from[e] != v || top[0] + weight[e] >= distance[to[e]]) continue;
+                distance[to[e]] = top[0] + weight[e];
+                queue.add(new long[]{distance[to[e]], to[e]});
+            }
+        }
+        return distance;
+    }
+}
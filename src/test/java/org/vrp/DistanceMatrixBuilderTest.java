@@ -0,0 +1,32 @@
+package org.vrp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistanceMatrixBuilderTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void readPointsSkipsCommentsAndBlankLines() throws IOException {
+        Path path = dir.resolve("points.txt");
+        Files.writeString(path, "# depot\n42\n\n  7 \n");
+        assertArrayEquals(new long[]{42, 7}, DistanceMatrixBuilder.readPoints(path));
+    }
+
+    @Test
+    void malformedPointReportsFileAndLine() throws IOException {
+        Path path = dir.resolve("points.txt");
+        Files.writeString(path, "42\nx\n");
+        IOException e = assertThrows(IOException.class, () -> DistanceMatrixBuilder.readPoints(path));
+        assertTrue(e.getMessage().contains("points.txt:2:"), e.getMessage());
+    }
+}
@@ -0,0 +1,53 @@
+package org.vrp;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoadNetworkTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void onewayColumnFollowsOsmValues() throws IOException {
+        RoadNetwork network = load("""
+                # from to distance time oneway
+                10 20 5 1
+                20 30 7 2 yes
+                30 40 9 3 -1
+                40 10 4 1 no
+                """);
+        assertEquals(4, network.nodeCount());
+        int[] nodes = {network.node(10), network.node(20), network.node(30), network.node(40)};
+        long[][] matrix = ContractionHierarchy.build(network.nodeCount(), network.from(), network.to(), network.distance())
+                .manyToMany(nodes, nodes);
+        assertArrayEquals(new long[]{0, 5, 12, 4}, matrix[0]);
+        assertArrayEquals(new long[]{4, 9, 9, 0}, matrix[3]);
+    }
+
+    @Test
+    void malformedNumberReportsFileAndLine() {
+        IOException e = assertThrows(IOException.class, () -> load("1 2 5 1\n1 x 5 1\n"));
+        assertTrue(e.getMessage().contains("edges.txt:2:"), e.getMessage());
+    }
+
+    @Test
+    void unknownOnewayValueIsRejected() {
+        IOException e = assertThrows(IOException.class, () -> load("1 2 5 1 maybe\n"));
+        assertTrue(e.getMessage().contains("edges.txt:1: unknown oneway value 'maybe'"), e.getMessage());
+    }
+
+    private RoadNetwork load(String content) throws IOException {
+        Path path = dir.resolve("edges.txt");
+        Files.writeString(path, content);
+        return RoadNetwork.load(path);
+    }
+}